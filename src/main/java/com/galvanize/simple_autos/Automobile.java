@@ -1,6 +1,7 @@
 package com.galvanize.simple_autos;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import jakarta.persistence.*;
 import org.hibernate.annotations.processing.Suppress;
@@ -34,6 +35,12 @@ public class Automobile {
         this.vin = vin;
     }
 
+    // paging cursor only, not part of the API payload
+    @JsonIgnore
+    public Long getId() {
+        return id;
+    }
+
     public int getYear() {
         return year;
     }
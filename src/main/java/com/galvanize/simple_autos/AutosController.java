@@ -16,14 +16,19 @@ public class AutosController {
 
     @GetMapping("/api/autos")
     public ResponseEntity<AutosList> getAutos(@RequestParam(required = false) String color,
-                                              @RequestParam(required = false) String make) {
+                                              @RequestParam(required = false) String make,
+                                              @RequestParam(required = false) Integer limit,
+                                              @RequestParam(required = false) Long afterId,
+                                              @RequestParam(defaultValue = "false") boolean estimate) {
         AutosList autosList;
-        if (color == null && make == null) {
+        if (limit != null) {
+            autosList = autosService.getAutos(color, make, afterId, limit, estimate);
+        } else if (color == null && make == null) {
             autosList = autosService.getAutos();
         } else {
             autosList = autosService.getAutos(color, make);
         }
-        return autosList.isEmpty() ? ResponseEntity.noContent().build() :
+        return autosList == null || autosList.isEmpty() ? ResponseEntity.noContent().build() :
                 ResponseEntity.ok(autosList);
     }
 
@@ -1,11 +1,20 @@
 package com.galvanize.simple_autos;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class AutosList {
     private List<Automobile> automobiles;
+    // only set for paged (limit) queries
+    private Boolean hasMore;
+    private Long estimatedTotal;
+    // pass back as afterId to read the next page
+    private Long nextAfterId;
+
     public AutosList(List<Automobile> automobiles) {
         this.automobiles = automobiles;
     }
@@ -22,6 +31,30 @@ public class AutosList {
         this.automobiles = automobiles;
     }
 
+    public Boolean getHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(Boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public Long getEstimatedTotal() {
+        return estimatedTotal;
+    }
+
+    public void setEstimatedTotal(Long estimatedTotal) {
+        this.estimatedTotal = estimatedTotal;
+    }
+
+    public Long getNextAfterId() {
+        return nextAfterId;
+    }
+
+    public void setNextAfterId(Long nextAfterId) {
+        this.nextAfterId = nextAfterId;
+    }
+
     public boolean isEmpty() {
         return this.automobiles.isEmpty();
     }
@@ -30,6 +63,9 @@ public class AutosList {
     public String toString() {
         return "AutosList{" +
                 "automobiles=" + automobiles +
+                ", hasMore=" + hasMore +
+                ", estimatedTotal=" + estimatedTotal +
+                ", nextAfterId=" + nextAfterId +
                 '}';
     }
 
@@ -38,11 +74,14 @@ public class AutosList {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         AutosList autosList = (AutosList) o;
-        return Objects.equals(automobiles, autosList.automobiles);
+        return Objects.equals(automobiles, autosList.automobiles) &&
+                Objects.equals(hasMore, autosList.hasMore) &&
+                Objects.equals(estimatedTotal, autosList.estimatedTotal) &&
+                Objects.equals(nextAfterId, autosList.nextAfterId);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(automobiles);
+        return Objects.hash(automobiles, hasMore, estimatedTotal, nextAfterId);
     }
 }
@@ -0,0 +1,163 @@
+package com.galvanize.simple_autos;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Sheds load on /api/autos before it reaches the database: a per-client token bucket
+ * (keyed by a known X-API-Key, falling back to the remote address) answers 429, and an
+ * adaptive concurrency limit driven by request latency answers 503 when Postgres slows down.
+ * Unpaged list and search requests hold a concurrency slot but don't feed the latency signal,
+ * since a full table scan is slow even when the database is healthy.
+ * <p>
+ * Without an API key clients are told apart by remote address, which relies on the service
+ * keeping the client's source IP (externalTrafficPolicy: Local in K8s-config/autos-service.yaml).
+ * Rejections carry the same CORS header as {@code @CrossOrigin("*")} so browsers can read them.
+ */
+@Component
+public class AutosLoadSheddingFilter extends OncePerRequestFilter {
+
+    static final String API_KEY_HEADER = "X-API-Key";
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    // least recently used client is dropped once maxClients is reached
+    private final Map<String, TokenBucket> buckets;
+    private final Set<String> apiKeys;
+    private final double bucketCapacity;
+    private final double refillPerSecond;
+    private final double listCost;
+    private final double searchCost;
+    private final int maxClients;
+    LongSupplier nanoTime = System::nanoTime;
+
+    public AutosLoadSheddingFilter(@Value("${autos.limit.initial:20}") int initialLimit,
+                                   @Value("${autos.limit.min:4}") int minLimit,
+                                   @Value("${autos.limit.max:200}") int maxLimit,
+                                   @Value("${autos.limit.latency-threshold-ms:250}") long latencyThresholdMs,
+                                   @Value("${autos.limit.backoff-ratio:0.9}") double backoffRatio,
+                                   @Value("${autos.ratelimit.capacity:100}") double bucketCapacity,
+                                   @Value("${autos.ratelimit.refill-per-second:50}") double refillPerSecond,
+                                   @Value("${autos.ratelimit.list-cost:10}") double listCost,
+                                   @Value("${autos.ratelimit.search-cost:2}") double searchCost,
+                                   @Value("${autos.ratelimit.max-clients:10000}") int maxClients,
+                                   @Value("${autos.ratelimit.api-keys:}") String apiKeys) {
+        this.limiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyThresholdMs * 1_000_000L, backoffRatio);
+        this.bucketCapacity = bucketCapacity;
+        this.refillPerSecond = refillPerSecond;
+        this.listCost = listCost;
+        this.searchCost = searchCost;
+        this.maxClients = maxClients;
+        this.apiKeys = Arrays.stream(apiKeys.split(","))
+                .map(String::trim)
+                .filter(key -> !key.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
+        this.buckets = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TokenBucket> eldest) {
+                return size() > AutosLoadSheddingFilter.this.maxClients;
+            }
+        };
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // CORS preflights never reach the database
+        return !request.getRequestURI().startsWith("/api/autos") || "OPTIONS".equals(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        long now = nanoTime.getAsLong();
+        double cost = costOf(request);
+        TokenBucket bucket = bucketFor(clientKey(request), now);
+        if (!bucket.tryConsume(cost, now)) {
+            reject(response, HttpStatus.TOO_MANY_REQUESTS, Math.max(1, bucket.secondsUntil(cost, now)));
+            return;
+        }
+        if (!limiter.tryAcquire()) {
+            reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1);
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (isScan(request)) {
+                limiter.release();
+            } else {
+                limiter.release(nanoTime.getAsLong() - now);
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response, HttpStatus status, long retryAfterSeconds) {
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN, "*");
+        response.setHeader(HttpHeaders.ACCESS_CONTROL_EXPOSE_HEADERS, HttpHeaders.RETRY_AFTER);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setStatus(status.value());
+    }
+
+    double costOf(HttpServletRequest request) {
+        if (!isList(request)) {
+            return 1;
+        }
+        // an unpaged list or search scans the whole table ("contains" can't use an index),
+        // a page stops after limit+1 rows but is still not a VIN lookup
+        return isScan(request) ? listCost : searchCost;
+    }
+
+    private boolean isList(HttpServletRequest request) {
+        return "GET".equals(request.getMethod()) && "/api/autos".equals(request.getRequestURI());
+    }
+
+    private boolean isScan(HttpServletRequest request) {
+        return isList(request) && !hasLimit(request);
+    }
+
+    // an empty limit binds to null in the controller and runs the unpaged query
+    private static boolean hasLimit(HttpServletRequest request) {
+        String limit = request.getParameter("limit");
+        return limit != null && !limit.isBlank();
+    }
+
+    String clientKey(HttpServletRequest request) {
+        // unknown keys are ignored, otherwise a client could rotate keys for a fresh bucket each time
+        String apiKey = request.getHeader(API_KEY_HEADER);
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private TokenBucket bucketFor(String key, long now) {
+        synchronized (buckets) {
+            return buckets.computeIfAbsent(key, k -> new TokenBucket(bucketCapacity, refillPerSecond, now));
+        }
+    }
+
+    int trackedClients() {
+        synchronized (buckets) {
+            return buckets.size();
+        }
+    }
+
+    AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+}
@@ -1,5 +1,7 @@
 package com.galvanize.simple_autos;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -7,7 +9,11 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface AutosRepository extends JpaRepository<Automobile, Long> {
+public interface AutosRepository extends JpaRepository<Automobile, Long>, AutosRepositoryCustom {
     List<Automobile> findByColorContainsAndMakeContains(String color, String make);
+    // keyset Slice queries: seek past the last id seen, fetch one row past the page to set hasNext, no count query
+    Slice<Automobile> findByColorContainsAndMakeContainsAndIdGreaterThan(String color, String make, Long id,
+                                                                         Pageable pageable);
+    Slice<Automobile> findByIdGreaterThan(Long id, Pageable pageable);
     Optional<Automobile> findByVin(String vin);
 }
@@ -0,0 +1,9 @@
+package com.galvanize.simple_autos;
+
+public interface AutosRepositoryCustom {
+    /**
+     * Row count the database planner expects for a color/make search, or null when
+     * the database doesn't expose one. Cheap, but only as accurate as the table statistics.
+     */
+    Long estimateCount(String color, String make);
+}
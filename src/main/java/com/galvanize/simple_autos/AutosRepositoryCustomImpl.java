@@ -0,0 +1,76 @@
+package com.galvanize.simple_autos;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.jpa.repository.query.EscapeCharacter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+public class AutosRepositoryCustomImpl implements AutosRepositoryCustom {
+
+    private static final Logger log = LoggerFactory.getLogger(AutosRepositoryCustomImpl.class);
+
+    // top plan node of Postgres EXPLAIN output, e.g. "Seq Scan on automobiles  (cost=0.00..1.50 rows=42 width=80)"
+    private static final Pattern PLAN_ROWS = Pattern.compile("rows=(\\d+)");
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile Boolean postgres;
+
+    public AutosRepositoryCustomImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public Long estimateCount(String color, String make) {
+        if (!isPostgres()) {
+            return null;
+        }
+        try {
+            List<String> plan;
+            if (color == null && make == null) {
+                plan = jdbcTemplate.queryForList(explainSql(false), String.class);
+            } else {
+                plan = jdbcTemplate.queryForList(explainSql(true), String.class,
+                        containsPattern(color), containsPattern(make));
+            }
+            if (!plan.isEmpty()) {
+                Matcher matcher = PLAN_ROWS.matcher(plan.get(0));
+                if (matcher.find()) {
+                    return Long.parseLong(matcher.group(1));
+                }
+            }
+        } catch (DataAccessException e) {
+            // the estimate is optional, the page itself has already been read
+            log.warn("Could not estimate automobile count", e);
+        }
+        return null;
+    }
+
+    // same predicate as findByColorContainsAndMakeContainsAndIdGreaterThan (minus the cursor),
+    // which AutosService uses whenever a filter is set
+    static String explainSql(boolean filtered) {
+        String sql = "EXPLAIN SELECT * FROM automobiles";
+        if (filtered) {
+            sql += " WHERE color LIKE ? ESCAPE '\\' AND make LIKE ? ESCAPE '\\'";
+        }
+        return sql;
+    }
+
+    // AutosService searches a missing filter as "contains the empty string", which still excludes NULL
+    static String containsPattern(String value) {
+        return "%" + EscapeCharacter.DEFAULT.escape(value == null ? "" : value) + "%";
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName()));
+        }
+        return Boolean.TRUE.equals(postgres);
+    }
+}
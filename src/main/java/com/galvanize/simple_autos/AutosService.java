@@ -1,5 +1,8 @@
 package com.galvanize.simple_autos;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
@@ -8,6 +11,8 @@ import java.util.Optional;
 @Service
 public class AutosService {
 
+    static final int MAX_LIMIT = 500;
+
     AutosRepository autosRepository;
 
     public AutosService(AutosRepository autosRepository) {
@@ -29,6 +34,32 @@ public class AutosService {
         return null;
     }
 
+    public AutosList getAutos(String color, String make, Long afterId, int limit, boolean estimate) {
+        if (limit <= 0 || (afterId != null && afterId < 0)) {
+            throw new InvaldAutoException();
+        }
+        // always the first page of rows past the cursor, so any page costs the same as the first
+        PageRequest pageRequest = PageRequest.of(0, Math.min(limit, MAX_LIMIT), Sort.by("id"));
+        long after = afterId == null ? 0 : afterId;
+        Slice<Automobile> slice;
+        if (color == null && make == null) {
+            slice = autosRepository.findByIdGreaterThan(after, pageRequest);
+        } else {
+            slice = autosRepository.findByColorContainsAndMakeContainsAndIdGreaterThan(
+                    color == null ? "" : color, make == null ? "" : make, after, pageRequest);
+        }
+        AutosList autosList = new AutosList(slice.getContent());
+        autosList.setHasMore(slice.hasNext());
+        if (slice.hasNext()) {
+            List<Automobile> content = slice.getContent();
+            autosList.setNextAfterId(content.get(content.size() - 1).getId());
+        }
+        if (estimate) {
+            autosList.setEstimatedTotal(autosRepository.estimateCount(color, make));
+        }
+        return autosList;
+    }
+
     public Automobile getAuto(String vin) {
         return autosRepository.findByVin(vin).orElse(null);
     }
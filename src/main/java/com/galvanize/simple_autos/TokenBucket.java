@@ -0,0 +1,41 @@
+package com.galvanize.simple_autos;
+
+public class TokenBucket {
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double capacity, double refillPerSecond, long now) {
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / 1_000_000_000d;
+        this.tokens = capacity;
+        this.lastRefill = now;
+    }
+
+    public synchronized boolean tryConsume(double cost, long now) {
+        refill(now);
+        if (tokens < cost) {
+            return false;
+        }
+        tokens -= cost;
+        return true;
+    }
+
+    // seconds until the bucket holds enough tokens for the given cost
+    public synchronized long secondsUntil(double cost, long now) {
+        refill(now);
+        if (tokens >= cost) {
+            return 0;
+        }
+        return (long) Math.ceil((cost - tokens) / refillPerNano / 1_000_000_000d);
+    }
+
+    private void refill(long now) {
+        long elapsed = now - lastRefill;
+        if (elapsed > 0) {
+            tokens = Math.min(capacity, tokens + elapsed * refillPerNano);
+            lastRefill = now;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.galvanize.simple_autos;
+
+import java.util.Random;
+
+/**
+ * Reproducible source of realistic automobiles: the same seed always yields the same
+ * rows. VINs follow the North American layout, including the position 9 check digit.
+ */
+public class AutomobileGenerator {
+
+    private static final String VIN_CHARS = "ABCDEFGHJKLMNPRSTUVWXYZ0123456789";
+    private static final String YEAR_CODES = "ABCDEFGHJKLMNPRSTVWXY123456789";
+    private static final int[] VIN_WEIGHTS = {8, 7, 6, 5, 4, 3, 2, 10, 0, 9, 8, 7, 6, 5, 4, 3, 2};
+
+    // make, world manufacturer identifier, relative weight, models
+    private static final Object[][] MAKES = {
+            {"Ford", "1FA", 18, new String[]{"Mustang", "F-150", "Explorer", "Escape", "Focus"}},
+            {"Chevrolet", "1G1", 16, new String[]{"Silverado", "Malibu", "Equinox", "Camaro", "Tahoe"}},
+            {"Toyota", "JTD", 16, new String[]{"Camry", "Corolla", "RAV4", "Tacoma", "Prius"}},
+            {"Honda", "1HG", 13, new String[]{"Civic", "Accord", "CR-V", "Pilot", "Odyssey"}},
+            {"Nissan", "1N4", 10, new String[]{"Altima", "Sentra", "Rogue", "Frontier"}},
+            {"Dodge", "2B3", 8, new String[]{"Charger", "Challenger", "Durango", "Viper"}},
+            {"Tesla", "5YJ", 6, new String[]{"Model S", "Model 3", "Model X", "Model Y"}},
+            {"Audi", "WAU", 5, new String[]{"A4", "A6", "Q5", "Quattro"}},
+    };
+
+    private static final Object[][] COLORS = {
+            {"WHITE", 25}, {"BLACK", 20}, {"GRAY", 15}, {"SILVER", 12}, {"BLUE", 9},
+            {"RED", 9}, {"BROWN", 3}, {"GREEN", 3}, {"ORANGE", 2}, {"YELLOW", 2},
+    };
+
+    private static final String[] OWNERS = {"Alex", "Sam", "Jordan", "Taylor", "Morgan", "Casey", "Riley", "Jamie"};
+
+    private final Random random;
+    private long serial;
+
+    public AutomobileGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    public Automobile next() {
+        Object[] make = pick(MAKES, 2);
+        String[] models = (String[]) make[3];
+        int year = 1985 + random.nextInt(40);
+        Automobile auto = new Automobile(year, models[random.nextInt(models.length)],
+                (String) make[0], vin((String) make[1], year));
+        auto.setColor((String) pick(COLORS, 1)[0]);
+        if (random.nextInt(4) != 0) {
+            auto.setOwner(OWNERS[random.nextInt(OWNERS.length)]);
+        }
+        return auto;
+    }
+
+    public String owner() {
+        return OWNERS[random.nextInt(OWNERS.length)];
+    }
+
+    String vin(String wmi, int year) {
+        char[] vin = new char[17];
+        wmi.getChars(0, 3, vin, 0);
+        for (int i = 3; i < 8; i++) {
+            vin[i] = VIN_CHARS.charAt(random.nextInt(VIN_CHARS.length()));
+        }
+        vin[9] = YEAR_CODES.charAt(Math.floorMod(year - 1980, YEAR_CODES.length()));
+        // plant code plus a running serial keeps generated VINs unique
+        long s = serial++;
+        vin[10] = VIN_CHARS.charAt((int) (s / 1_000_000 % VIN_CHARS.length()));
+        String digits = String.format("%06d", s % 1_000_000);
+        digits.getChars(0, 6, vin, 11);
+        vin[8] = checkDigit(vin);
+        return new String(vin);
+    }
+
+    static char checkDigit(char[] vin) {
+        int sum = 0;
+        for (int i = 0; i < 17; i++) {
+            if (i != 8) {
+                sum += transliterate(vin[i]) * VIN_WEIGHTS[i];
+            }
+        }
+        int remainder = sum % 11;
+        return remainder == 10 ? 'X' : (char) ('0' + remainder);
+    }
+
+    static boolean isValidVin(String vin) {
+        return vin != null && vin.length() == 17 && checkDigit(vin.toCharArray()) == vin.charAt(8);
+    }
+
+    private static int transliterate(char c) {
+        if (Character.isDigit(c)) {
+            return c - '0';
+        }
+        return "12345678 12345 7 923456789".charAt(c - 'A') - '0';
+    }
+
+    private Object[] pick(Object[][] options, int weightIndex) {
+        int total = 0;
+        for (Object[] option : options) {
+            total += (int) option[weightIndex];
+        }
+        int roll = random.nextInt(total);
+        for (Object[] option : options) {
+            roll -= (int) option[weightIndex];
+            if (roll < 0) {
+                return option;
+            }
+        }
+        return options[options.length - 1];
+    }
+}
@@ -0,0 +1,45 @@
+package com.galvanize.simple_autos;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class AutomobileGeneratorTest {
+
+    @Test
+    void knownVinsPassCheckDigit() {
+        assertThat(AutomobileGenerator.isValidVin("1M8GDM9AXKP042788")).isTrue();
+        assertThat(AutomobileGenerator.isValidVin("1HGCM82633A004352")).isTrue();
+        assertThat(AutomobileGenerator.isValidVin("1M8GDM9A1KP042788")).isFalse();
+    }
+
+    @Test
+    void generatedAutosHaveUniqueValidVins() {
+        AutomobileGenerator generator = new AutomobileGenerator(7);
+        Set<String> vins = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            Automobile auto = generator.next();
+            assertThat(AutomobileGenerator.isValidVin(auto.getVin())).isTrue();
+            assertThat(auto.getMake()).isNotNull();
+            assertThat(auto.getColor()).isNotNull();
+            vins.add(auto.getVin());
+        }
+        assertThat(vins.size()).isEqualTo(1000);
+    }
+
+    @Test
+    void sameSeedGeneratesSameAutos() {
+        AutomobileGenerator first = new AutomobileGenerator(42);
+        AutomobileGenerator second = new AutomobileGenerator(42);
+        for (int i = 0; i < 100; i++) {
+            Automobile a = first.next();
+            Automobile b = second.next();
+            assertThat(a.getVin()).isEqualTo(b.getVin());
+            assertThat(a.getMake()).isEqualTo(b.getMake());
+            assertThat(a.getColor()).isEqualTo(b.getColor());
+        }
+    }
+}
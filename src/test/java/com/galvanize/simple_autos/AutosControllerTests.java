@@ -97,6 +97,40 @@ public class AutosControllerTests {
                 .andExpect(jsonPath("$.automobiles", hasSize(5)));
     }
 
+    //- GET /api/autos?color=white&limit=2 returns one page and whether more exist
+    @Test
+    void getAutosWithLimitReturnsSlice() throws Exception {
+        List<Automobile> automobiles = new ArrayList<>();
+        for(int i = 0; i < 2; i++) {
+            automobiles.add(new Automobile(1967+i, "Ford", "Mustang", "AABB"+i));
+        }
+        AutosList autosList = new AutosList(automobiles);
+        autosList.setHasMore(true);
+        autosList.setEstimatedTotal(1000L);
+        autosList.setNextAfterId(42L);
+        when(autosService.getAutos(eq("white"), isNull(), isNull(), eq(2), eq(true)))
+                .thenReturn(autosList);
+        mockMvc.perform(get("/api/autos?color=white&limit=2&estimate=true"))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.automobiles", hasSize(2)))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextAfterId").value(42))
+                .andExpect(jsonPath("$.estimatedTotal").value(1000));
+    }
+
+    //- GET /api/autos?color=white&limit=2 returns 204 when the page is empty
+    @Test
+    void getAutosWithLimitReturnsNoContentWhenEmpty() throws Exception {
+        AutosList autosList = new AutosList();
+        autosList.setHasMore(false);
+        when(autosService.getAutos(anyString(), isNull(), eq(30L), anyInt(), anyBoolean()))
+                .thenReturn(autosList);
+        mockMvc.perform(get("/api/autos?color=white&limit=2&afterId=30"))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+    }
+
     //Add an automobile:
     //- POST /api/autos returns 200 when Automobile added successfully
     @Test
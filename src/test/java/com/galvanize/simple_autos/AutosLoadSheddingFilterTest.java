@@ -0,0 +1,202 @@
+package com.galvanize.simple_autos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import jakarta.servlet.FilterChain;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class AutosLoadSheddingFilterTest {
+
+    private AutosLoadSheddingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new AutosLoadSheddingFilter(2, 1, 10, 250, 0.5,
+                20, 1, 10, 2, 100, "abc, well-behaved");
+    }
+
+    @Test
+    void unpagedScansCostMoreThanPagesAndVinLookups() {
+        MockHttpServletRequest list = new MockHttpServletRequest("GET", "/api/autos");
+        MockHttpServletRequest search = new MockHttpServletRequest("GET", "/api/autos");
+        search.setParameter("color", "white");
+        MockHttpServletRequest paged = new MockHttpServletRequest("GET", "/api/autos");
+        paged.setParameter("color", "white");
+        paged.setParameter("limit", "50");
+        MockHttpServletRequest vin = new MockHttpServletRequest("GET", "/api/autos/AABBCC");
+        assertThat(filter.costOf(search)).isEqualTo(filter.costOf(list));
+        assertThat(filter.costOf(list)).isGreaterThan(filter.costOf(paged));
+        assertThat(filter.costOf(paged)).isGreaterThan(filter.costOf(vin));
+    }
+
+    @Test
+    void emptyLimitIsChargedAsFullList() {
+        MockHttpServletRequest list = new MockHttpServletRequest("GET", "/api/autos");
+        MockHttpServletRequest empty = new MockHttpServletRequest("GET", "/api/autos");
+        empty.setParameter("limit", "");
+        MockHttpServletRequest paged = new MockHttpServletRequest("GET", "/api/autos");
+        paged.setParameter("limit", "50");
+        assertThat(filter.costOf(empty)).isEqualTo(filter.costOf(list));
+        assertThat(filter.costOf(paged)).isLessThan(filter.costOf(list));
+    }
+
+    @Test
+    void clientKeyPrefersApiKeyOverAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/autos");
+        request.setRemoteAddr("10.0.0.1");
+        assertThat(filter.clientKey(request)).isEqualTo("ip:10.0.0.1");
+        request.addHeader(AutosLoadSheddingFilter.API_KEY_HEADER, "abc");
+        assertThat(filter.clientKey(request)).isEqualTo("key:abc");
+    }
+
+    @Test
+    void unknownApiKeyFallsBackToAddress() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/autos");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader(AutosLoadSheddingFilter.API_KEY_HEADER, "made-up");
+        assertThat(filter.clientKey(request)).isEqualTo("ip:10.0.0.1");
+    }
+
+    @Test
+    void rotatingApiKeyDoesNotGetAFreshBucket() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/autos");
+            request.addHeader(AutosLoadSheddingFilter.API_KEY_HEADER, "random-" + i);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/autos");
+        request.addHeader(AutosLoadSheddingFilter.API_KEY_HEADER, "random-2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void trackedClientsStayWithinMaxClients() throws Exception {
+        for (int i = 0; i < 250; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/autos/AABBCC");
+            request.setRemoteAddr("10.0.1." + i);
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        assertThat(filter.trackedClients()).isEqualTo(100);
+    }
+
+    @Test
+    void slowScansDoNotShrinkTheLimitForLookups() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        filter = new AutosLoadSheddingFilter(4, 1, 10, 20, 0.5,
+                1000, 1000, 10, 2, 100, "");
+        filter.nanoTime = clock::get;
+        FilterChain slowScan = (req, res) -> clock.addAndGet(40_000_000L);
+        FilterChain fastLookup = (req, res) -> clock.addAndGet(1_000_000L);
+        for (int i = 0; i < 5; i++) {
+            MockHttpServletResponse list = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/autos"), list, slowScan);
+            assertThat(list.getStatus()).isEqualTo(200);
+            MockHttpServletRequest searchRequest = new MockHttpServletRequest("GET", "/api/autos");
+            searchRequest.setParameter("color", "white");
+            MockHttpServletResponse search = new MockHttpServletResponse();
+            filter.doFilter(searchRequest, search, slowScan);
+            assertThat(search.getStatus()).isEqualTo(200);
+            MockHttpServletResponse lookup = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/autos/AABBCC"), lookup, fastLookup);
+            assertThat(lookup.getStatus()).isEqualTo(200);
+        }
+        assertThat(filter.getLimiter().getLimit()).isGreaterThanOrEqualTo(4);
+        assertThat(filter.getLimiter().getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void slowLookupsShrinkTheLimit() throws Exception {
+        AtomicLong clock = new AtomicLong();
+        filter = new AutosLoadSheddingFilter(4, 1, 10, 20, 0.5,
+                1000, 1000, 10, 2, 100, "");
+        filter.nanoTime = clock::get;
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/autos/AABBCC"),
+                new MockHttpServletResponse(), (req, res) -> clock.addAndGet(40_000_000L));
+        assertThat(filter.getLimiter().getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    void corsPreflightIsNotCharged() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("OPTIONS", "/api/autos"), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/autos"), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void exhaustedBucketReturns429() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/autos"), response, new MockFilterChain());
+            assertThat(response.getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/autos"), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeader("Retry-After")).isNotNull();
+        assertThat(response.getHeader("Access-Control-Allow-Origin")).isEqualTo("*");
+        assertThat(response.getHeader("Access-Control-Expose-Headers")).isEqualTo("Retry-After");
+    }
+
+    @Test
+    void otherClientsKeepTheirOwnBucket() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/autos");
+            filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        }
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/autos");
+        request.addHeader(AutosLoadSheddingFilter.API_KEY_HEADER, "well-behaved");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void concurrencyLimitRejectsExcessWith503() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = filter.getLimiter();
+        assertThat(limiter.tryAcquire()).isTrue();
+        assertThat(limiter.tryAcquire()).isTrue();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/autos/AABBCC"), response, new MockFilterChain());
+        assertThat(response.getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    void slowRequestsShrinkTheLimitAndFastOnesGrowIt() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(8, 1, 16, 100, 0.5);
+        limiter.tryAcquire();
+        limiter.release(500);
+        assertThat(limiter.getLimit()).isEqualTo(4);
+        for (int i = 0; i < 40; i++) {
+            for (int j = 0; j < 4; j++) {
+                limiter.tryAcquire();
+            }
+            for (int j = 0; j < 4; j++) {
+                limiter.release(10);
+            }
+        }
+        assertThat(limiter.getLimit()).isGreaterThan(4);
+        assertThat(limiter.getInFlight()).isEqualTo(0);
+    }
+
+    @Test
+    void tokenBucketRefillsOverTime() {
+        TokenBucket bucket = new TokenBucket(10, 5, 0);
+        assertThat(bucket.tryConsume(10, 0)).isTrue();
+        assertThat(bucket.tryConsume(1, 0)).isFalse();
+        assertThat(bucket.secondsUntil(5, 0)).isEqualTo(1);
+        assertThat(bucket.tryConsume(5, 1_000_000_000L)).isTrue();
+    }
+}
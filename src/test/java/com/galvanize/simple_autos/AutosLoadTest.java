@@ -0,0 +1,242 @@
+package com.galvanize.simple_autos;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Seeds the embedded database and replays an open-loop traffic mix against the running
+ * app, then checks latency percentiles against SLO thresholds. Excluded from the regular
+ * test task; run it with {@code ./gradlew loadTest -Dload.rows=100000 -Dload.rate=500}.
+ * Latency is measured from each request's scheduled send time so a stalled server
+ * can't hide queueing delay. The same load.seed replays the same rows and the same
+ * sequence of requests.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"autos.ratelimit.capacity=1000000000", "autos.ratelimit.refill-per-second=1000000000"})
+class AutosLoadTest {
+
+    private static final String INSERT_SQL =
+            "insert into automobiles (model_year, make, model, color, owner_name, vin) values (?, ?, ?, ?, ?, ?)";
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    AutosRepository autosRepository;
+
+    long seed = Long.getLong("load.seed", 42L);
+    int rows = Integer.getInteger("load.rows", 10_000);
+    int rate = Integer.getInteger("load.rate", 200);
+    int durationSeconds = Integer.getInteger("load.durationSeconds", 30);
+    int warmupSeconds = Integer.getInteger("load.warmupSeconds", 5);
+    String mix = System.getProperty("load.mix", "get:60,filter:20,patch:10,post:5,delete:5");
+    double sloP50 = Double.parseDouble(System.getProperty("load.slo.p50", "50"));
+    double sloP99 = Double.parseDouble(System.getProperty("load.slo.p99", "250"));
+    double sloP999 = Double.parseDouble(System.getProperty("load.slo.p999", "1000"));
+    double sloErrorRate = Double.parseDouble(System.getProperty("load.slo.errorRate", "0.01"));
+    // the concurrency limiter stays on; a run it had to shed is not a pass
+    double sloShedRate = Double.parseDouble(System.getProperty("load.slo.shedRate", "0"));
+    Path reportDir = Paths.get(System.getProperty("load.reportDir", "build/reports/load"));
+
+    @AfterEach
+    void tearDown() {
+        autosRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void replayTrafficMix_meetsSlo() throws Exception {
+        AutomobileGenerator generator = new AutomobileGenerator(seed);
+        List<Automobile> seeded = seed(generator);
+
+        Map<String, Integer> weights = parseMix(mix);
+        Map<String, LatencyRecorder> recorders = new LinkedHashMap<>();
+        weights.keySet().forEach(op -> recorders.put(op, new LatencyRecorder()));
+        LatencyRecorder overall = new LatencyRecorder();
+        // posted VINs in scheduling order, so delete targets only depend on the seed
+        Deque<Map.Entry<String, CompletableFuture<HttpResponse<Void>>>> posted = new ArrayDeque<>();
+        AtomicLong lastCompletion = new AtomicLong();
+
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        Random random = new Random(seed);
+        List<CompletableFuture<?>> inFlight = new ArrayList<>();
+        long periodNanos = 1_000_000_000L / rate;
+        long total = (long) rate * (warmupSeconds + durationSeconds);
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+
+        for (long i = 0; i < total; i++) {
+            long intended = start + i * periodNanos;
+            long wait = intended - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String picked = pick(weights, random);
+            Map.Entry<String, CompletableFuture<HttpResponse<Void>>> toDelete =
+                    "delete".equals(picked) ? posted.poll() : null;
+            // nothing posted yet to delete, so read a seeded auto and report it as a get
+            String op = "delete".equals(picked) && toDelete == null ? "get" : picked;
+            Automobile created = "post".equals(op) ? generator.next() : null;
+            LatencyRecorder recorder = recorders.computeIfAbsent(op, k -> new LatencyRecorder());
+            HttpRequest request = buildRequest(op, seeded.get(random.nextInt(seeded.size())),
+                    created, toDelete == null ? null : toDelete.getKey(), generator);
+            CompletableFuture<HttpResponse<Void>> sent;
+            if (toDelete != null) {
+                // the oldest post has almost always landed by now; waiting for it keeps the delete from missing
+                sent = toDelete.getValue().handle((response, error) -> null)
+                        .thenCompose(ignored -> client.sendAsync(request, HttpResponse.BodyHandlers.discarding()));
+            } else {
+                sent = client.sendAsync(request, HttpResponse.BodyHandlers.discarding());
+            }
+            if (created != null) {
+                posted.add(Map.entry(created.getVin(), sent));
+            }
+            boolean measured = intended >= measureFrom;
+            inFlight.add(sent.handle((response, error) -> {
+                long now = System.nanoTime();
+                int status = error == null ? response.statusCode() : -1;
+                if (measured) {
+                    recorder.record(now - intended, status);
+                    overall.record(now - intended, status);
+                    lastCompletion.accumulateAndGet(now, Math::max);
+                }
+                return null;
+            }));
+        }
+        CompletableFuture.allOf(inFlight.toArray(new CompletableFuture[0])).get(60, TimeUnit.SECONDS);
+        // requests scheduled in the window may finish after it, throughput is over the real span
+        double elapsedSeconds = Math.max(lastCompletion.get() - measureFrom, 1) / 1_000_000_000d;
+
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("rows=%d rate=%d/s duration=%ds warmup=%ds elapsed=%.1fs seed=%d mix=%s",
+                rows, rate, durationSeconds, warmupSeconds, elapsedSeconds, seed, mix));
+        recorders.forEach((op, recorder) -> lines.add(recorder.summary(op, elapsedSeconds)));
+        lines.add(overall.summary("overall", elapsedSeconds));
+        lines.add(String.format("SLO p50<=%.0fms p99<=%.0fms p999<=%.0fms errors<=%.2f%% shed<=%.2f%%"
+                        + " (percentiles cover served requests only)",
+                sloP50, sloP99, sloP999, sloErrorRate * 100, sloShedRate * 100));
+        boolean pass = overall.percentileMillis(0.50) <= sloP50
+                && overall.percentileMillis(0.99) <= sloP99
+                && overall.percentileMillis(0.999) <= sloP999
+                && overall.errorRate() <= sloErrorRate
+                && overall.shedRate() <= sloShedRate;
+        lines.add(pass ? "PASS" : "FAIL");
+        writeReport(lines);
+
+        assertThat(overall.getRequests()).isGreaterThan(0);
+        assertThat(pass).as(String.join(System.lineSeparator(), lines)).isTrue();
+    }
+
+    private List<Automobile> seed(AutomobileGenerator generator) {
+        List<Automobile> seeded = new ArrayList<>(rows);
+        List<Object[]> batch = new ArrayList<>();
+        for (int i = 0; i < rows; i++) {
+            Automobile auto = generator.next();
+            seeded.add(auto);
+            batch.add(new Object[]{auto.getYear(), auto.getMake(), auto.getModel(),
+                    auto.getColor(), auto.getOwner(), auto.getVin()});
+            if (batch.size() == 1000 || i == rows - 1) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+            }
+        }
+        return seeded;
+    }
+
+    // seeded rows are only ever read or patched with their own color, so filters keep matching;
+    // deletes only remove autos the run itself posted
+    private HttpRequest buildRequest(String op, Automobile auto, Automobile created, String deleteVin,
+                                     AutomobileGenerator generator) {
+        switch (op) {
+            case "filter":
+                return request("/api/autos?color=" + encode(auto.getColor()) + "&make=" + encode(auto.getMake()))
+                        .GET().build();
+            case "patch":
+                String patch = String.format("{\"color\":\"%s\",\"owner\":\"%s\"}", auto.getColor(), generator.owner());
+                return request("/api/autos/" + auto.getVin())
+                        .header("Content-Type", "application/json")
+                        .method("PATCH", HttpRequest.BodyPublishers.ofString(patch)).build();
+            case "post":
+                String json = String.format("{\"year\":%d,\"make\":\"%s\",\"model\":\"%s\",\"color\":\"%s\",\"vin\":\"%s\"}",
+                        created.getYear(), created.getMake(), created.getModel(), created.getColor(), created.getVin());
+                return request("/api/autos")
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(json)).build();
+            case "delete":
+                return request("/api/autos/" + deleteVin).DELETE().build();
+            default:
+                return request("/api/autos/" + auto.getVin()).GET().build();
+        }
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    static Map<String, Integer> parseMix(String mix) {
+        Map<String, Integer> weights = new LinkedHashMap<>();
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(parts[0], Integer.parseInt(parts[1]));
+        }
+        return weights;
+    }
+
+    private static String pick(Map<String, Integer> weights, Random random) {
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return weights.keySet().iterator().next();
+    }
+
+    private void writeReport(List<String> lines) throws IOException {
+        Files.createDirectories(reportDir);
+        Files.write(reportDir.resolve("summary.txt"), lines);
+        lines.forEach(System.out::println);
+    }
+}
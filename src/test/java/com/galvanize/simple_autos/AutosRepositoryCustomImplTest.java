@@ -0,0 +1,92 @@
+package com.galvanize.simple_autos;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AutosRepositoryCustomImplTest {
+
+    private AutosRepositoryCustomImpl repository;
+
+    @Mock
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        repository = new AutosRepositoryCustomImpl(jdbcTemplate);
+    }
+
+    @Test
+    void unfilteredEstimateReadsRowsFromTopPlanNode() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList("EXPLAIN SELECT * FROM automobiles", String.class))
+                .thenReturn(Arrays.asList(
+                        "Gather  (cost=1000.00..25432.10 rows=123456 width=64)",
+                        "  Workers Planned: 2",
+                        "  ->  Parallel Seq Scan on automobiles  (cost=0.00..23000.00 rows=51440 width=64)"));
+        assertThat(repository.estimateCount(null, null)).isEqualTo(123456L);
+    }
+
+    @Test
+    void filteredEstimateUsesEscapedContainsPatterns() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList(eq(AutosRepositoryCustomImpl.explainSql(true)), eq(String.class),
+                eq("%50\\%%"), eq("%%")))
+                .thenReturn(Arrays.asList("Seq Scan on automobiles  (cost=0.00..1.50 rows=42 width=80)"));
+        assertThat(repository.estimateCount("50%", null)).isEqualTo(42L);
+    }
+
+    @Test
+    void planWithoutRowsReturnsNull() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList("EXPLAIN SELECT * FROM automobiles", String.class))
+                .thenReturn(Arrays.asList("Result"));
+        assertThat(repository.estimateCount(null, null)).isNull();
+    }
+
+    @Test
+    void nonPostgresDatabaseReturnsNullWithoutExplaining() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(false);
+        assertThat(repository.estimateCount("white", "Ford")).isNull();
+        verify(jdbcTemplate, never()).queryForList(anyString(), eq(String.class));
+    }
+
+    @Test
+    void databaseFailureFallsBackToNull() {
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenReturn(true);
+        when(jdbcTemplate.queryForList("EXPLAIN SELECT * FROM automobiles", String.class))
+                .thenThrow(new DataAccessResourceFailureException("connection lost"));
+        assertThat(repository.estimateCount(null, null)).isNull();
+    }
+
+    @Test
+    void containsPatternEscapesWildcards() {
+        assertThat(AutosRepositoryCustomImpl.containsPattern("50%_off\\"))
+                .isEqualTo("%50\\%\\_off\\\\%");
+        assertThat(AutosRepositoryCustomImpl.containsPattern(null)).isEqualTo("%%");
+    }
+
+    @Test
+    void filteredEstimateMatchesTheSliceQueryPredicate() {
+        assertThat(AutosRepositoryCustomImpl.explainSql(true))
+                .contains("color LIKE ? ESCAPE '\\'")
+                .contains("make LIKE ? ESCAPE '\\'");
+        assertThat(AutosRepositoryCustomImpl.explainSql(false)).isEqualTo("EXPLAIN SELECT * FROM automobiles");
+    }
+}
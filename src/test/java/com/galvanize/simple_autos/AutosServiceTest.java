@@ -5,14 +5,22 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThatExceptionOfType;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -49,6 +57,50 @@ class AutosServiceTest {
         assertThat(autosList.isEmpty()).isFalse();
     }
 
+    @Test
+    void getAutoSearchWithLimitReturnsSlice() {
+        Automobile automobile = new Automobile(1967, "Mustang", "Ford", "AABBCC");
+        automobile.setColor("White");
+        ReflectionTestUtils.setField(automobile, "id", 7L);
+        when(autosRepository.findByColorContainsAndMakeContainsAndIdGreaterThan(
+                eq("White"), eq(""), eq(0L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(automobile), PageRequest.of(0, 1), true));
+        AutosList autosList = autosService.getAutos("White", null, null, 1, false);
+        assertThat(autosList.isEmpty()).isFalse();
+        assertThat(autosList.getHasMore()).isTrue();
+        assertThat(autosList.getNextAfterId()).isEqualTo(7L);
+        assertThat(autosList.getEstimatedTotal()).isNull();
+        verify(autosRepository, never()).estimateCount(any(), any());
+    }
+
+    @Test
+    void getAutosWithLimitAndEstimateReturnsEstimatedTotal() {
+        Automobile automobile = new Automobile(1967, "Mustang", "Ford", "AABBCC");
+        when(autosRepository.findByIdGreaterThan(eq(40L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<>(Arrays.asList(automobile), PageRequest.of(0, 10), false));
+        when(autosRepository.estimateCount(null, null)).thenReturn(1L);
+        AutosList autosList = autosService.getAutos(null, null, 40L, 10, true);
+        assertThat(autosList.getHasMore()).isFalse();
+        assertThat(autosList.getNextAfterId()).isNull();
+        assertThat(autosList.getEstimatedTotal()).isEqualTo(1L);
+    }
+
+    @Test
+    void getAutosWithLimitReadsFirstPagePastCursor() {
+        when(autosRepository.findByIdGreaterThan(eq(1_000_000L), any(Pageable.class)))
+                .thenReturn(new SliceImpl<Automobile>(Collections.emptyList(), PageRequest.of(0, 500), false));
+        autosService.getAutos(null, null, 1_000_000L, 5000, false);
+        verify(autosRepository).findByIdGreaterThan(1_000_000L, PageRequest.of(0, 500, Sort.by("id")));
+    }
+
+    @Test
+    void getAutosWithNonPositiveLimitIsRejected() {
+        assertThatExceptionOfType(InvaldAutoException.class)
+                .isThrownBy(() -> autosService.getAutos("White", null, null, 0, false));
+        assertThatExceptionOfType(InvaldAutoException.class)
+                .isThrownBy(() -> autosService.getAutos("White", null, -1L, 10, false));
+    }
+
     @Test
     void getAutoWithVin() {
         Automobile automobile = new Automobile(1967, "Mustang", "Ford", "AABB1122");
@@ -0,0 +1,62 @@
+package com.galvanize.simple_autos;
+
+import java.util.Arrays;
+
+/**
+ * Latency samples for served requests only. Shed responses (429/503) come back fast and
+ * would flatter the percentiles, so they are counted separately.
+ */
+public class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+    private int shed;
+
+    public synchronized void record(long latencyNanos, int status) {
+        if (status == 429 || status == 503) {
+            shed++;
+            return;
+        }
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = latencyNanos;
+        if (status >= 400 || status < 0) {
+            errors++;
+        }
+    }
+
+    // served requests, the ones behind the latency percentiles
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized int getRequests() {
+        return count + shed;
+    }
+
+    public synchronized double errorRate() {
+        return count + shed == 0 ? 0 : (double) errors / (count + shed);
+    }
+
+    public synchronized double shedRate() {
+        return count + shed == 0 ? 0 : (double) shed / (count + shed);
+    }
+
+    // nearest-rank percentile in milliseconds, p in (0, 1]
+    public synchronized double percentileMillis(double p) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(p * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, rank))] / 1_000_000d;
+    }
+
+    public synchronized String summary(String name, double seconds) {
+        return String.format("%-8s served=%-8d throughput=%8.1f/s p50=%8.2fms p99=%8.2fms p999=%8.2fms errors=%.2f%% shed=%.2f%%",
+                name, count, count / seconds, percentileMillis(0.50), percentileMillis(0.99),
+                percentileMillis(0.999), errorRate() * 100, shedRate() * 100);
+    }
+}
@@ -0,0 +1,57 @@
+package com.galvanize.simple_autos;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+class LatencyRecorderTest {
+
+    private static final long MS = 1_000_000L;
+
+    @Test
+    void percentilesUseNearestRank() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 100; i >= 1; i--) {
+            recorder.record(i * MS, 200);
+        }
+        assertThat(recorder.percentileMillis(0.50)).isEqualTo(50.0);
+        assertThat(recorder.percentileMillis(0.99)).isEqualTo(99.0);
+        assertThat(recorder.percentileMillis(0.999)).isEqualTo(100.0);
+        assertThat(recorder.percentileMillis(1.0)).isEqualTo(100.0);
+    }
+
+    @Test
+    void emptyRecorderReportsZero() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        assertThat(recorder.percentileMillis(0.99)).isEqualTo(0.0);
+        assertThat(recorder.errorRate()).isEqualTo(0.0);
+        assertThat(recorder.shedRate()).isEqualTo(0.0);
+    }
+
+    @Test
+    void shedResponsesAreLeftOutOfPercentiles() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        recorder.record(200 * MS, 200);
+        recorder.record(200 * MS, 200);
+        for (int i = 0; i < 8; i++) {
+            recorder.record(MS, i % 2 == 0 ? 429 : 503);
+        }
+        assertThat(recorder.getCount()).isEqualTo(2);
+        assertThat(recorder.getRequests()).isEqualTo(10);
+        assertThat(recorder.percentileMillis(0.50)).isEqualTo(200.0);
+    }
+
+    @Test
+    void errorAndShedRatesCoverAllRequests() {
+        LatencyRecorder recorder = new LatencyRecorder();
+        for (int i = 0; i < 6; i++) {
+            recorder.record(MS, 200);
+        }
+        recorder.record(MS, 500);
+        recorder.record(MS, -1);
+        recorder.record(MS, 429);
+        recorder.record(MS, 503);
+        assertThat(recorder.errorRate()).isEqualTo(0.2);
+        assertThat(recorder.shedRate()).isEqualTo(0.2);
+    }
+}
@@ -81,6 +81,24 @@ class SimpleAutosApplicationTests {
         }
     }
 
+    @Test
+    void getAutos_withLimit_pagesThroughAllAutos() {
+        ResponseEntity<AutosList> response = restTemplate.getForEntity("/api/autos?limit=10", AutosList.class);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isNotNull();
+        assertThat(response.getBody().getAutomobiles().size()).isEqualTo(10);
+        assertThat(response.getBody().getHasMore()).isTrue();
+
+        int seen = response.getBody().getAutomobiles().size();
+        while (response.getBody().getHasMore()) {
+            response = restTemplate.getForEntity("/api/autos?limit=10&afterId=" + response.getBody().getNextAfterId(),
+                    AutosList.class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            seen += response.getBody().getAutomobiles().size();
+        }
+        assertThat(seen).isEqualTo(testAutos.size());
+    }
+
     @Test
     void addAuto_returnsNewAutoDetails() {
         Automobile automobile = new Automobile(1995, "Ford", "Windstar", "ABC123XX");